@@ -31,11 +31,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Locale;
 import java.util.UUID;
 
 public class MainActivity extends AppCompatActivity {
@@ -240,7 +238,7 @@ public class MainActivity extends AppCompatActivity {
     }
     
     private void addMessage(String sender, String content) {
-        String timestamp = new SimpleDateFormat("HH:mm:ss", Locale.getDefault()).format(new Date());
+        String timestamp = Message.formatTimestamp(new Date());
         messages.add(new Message(sender, content, timestamp));
         
         mainHandler.post(() -> {
@@ -367,7 +365,6 @@ public class MainActivity extends AppCompatActivity {
         private final BluetoothSocket mmSocket;
         private final InputStream mmInStream;
         private final OutputStream mmOutStream;
-        private byte[] mmBuffer;
         
         public ConnectedThread(BluetoothSocket socket) {
             mmSocket = socket;
@@ -386,14 +383,9 @@ public class MainActivity extends AppCompatActivity {
         }
         
         public void run() {
-            mmBuffer = new byte[1024];
-            int numBytes;
-            
-            while (true) {
-                try {
-                    numBytes = mmInStream.read(mmBuffer);
-                    String receivedMessage = new String(mmBuffer, 0, numBytes);
-                    
+            new MessageReceiver(mmInStream, new MessageReceiver.OnMessageListener() {
+                @Override
+                public void onMessageReceived(String receivedMessage) {
                     String deviceName = "Remote";
                     if (connectedDevice != null) {
                         if (ActivityCompat.checkSelfPermission(MainActivity.this, Manifest.permission.BLUETOOTH_CONNECT) == PackageManager.PERMISSION_GRANTED) {
@@ -403,8 +395,10 @@ public class MainActivity extends AppCompatActivity {
                     }
                     
                     addMessage(deviceName, receivedMessage);
-                    
-                } catch (IOException e) {
+                }
+                
+                @Override
+                public void onDisconnected(IOException e) {
                     Log.d(TAG, "Input stream was disconnected", e);
                     
                     mainHandler.post(() -> {
@@ -413,14 +407,13 @@ public class MainActivity extends AppCompatActivity {
                         connectedDevice = null;
                         sendButton.setEnabled(false);
                     });
-                    break;
                 }
-            }
+            }).run();
         }
         
         public void write(String message) {
             try {
-                mmOutStream.write(message.getBytes());
+                mmOutStream.write(MessageCodec.encode(message));
             } catch (IOException e) {
                 Log.e(TAG, "Error occurred when sending data", e);
             }
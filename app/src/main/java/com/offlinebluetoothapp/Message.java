@@ -1,5 +1,9 @@
 package com.offlinebluetoothapp;
 
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
 public class Message {
     private String sender;
     private String content;
@@ -22,4 +26,8 @@ public class Message {
     public String getTimestamp() {
         return timestamp;
     }
+    
+    public static String formatTimestamp(Date date) {
+        return new SimpleDateFormat("HH:mm:ss", Locale.getDefault()).format(date);
+    }
 }
\ No newline at end of file
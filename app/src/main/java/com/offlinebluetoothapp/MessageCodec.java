@@ -0,0 +1,17 @@
+package com.offlinebluetoothapp;
+
+import java.nio.charset.StandardCharsets;
+
+public final class MessageCodec {
+    
+    private MessageCodec() {
+    }
+    
+    public static byte[] encode(String message) {
+        return message.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    public static String decode(byte[] buffer, int offset, int length) {
+        return new String(buffer, offset, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,42 @@
+package com.offlinebluetoothapp;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Receive loop shared by ConnectedThread; kept free of Android types so it can run on a plain JVM
+public class MessageReceiver {
+    
+    private static final int BUFFER_SIZE = 1024;
+    
+    private final InputStream inStream;
+    private final OnMessageListener listener;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    
+    public interface OnMessageListener {
+        void onMessageReceived(String message);
+        
+        void onDisconnected(IOException cause);
+    }
+    
+    public MessageReceiver(InputStream inStream, OnMessageListener listener) {
+        this.inStream = inStream;
+        this.listener = listener;
+    }
+    
+    // Reads until the stream fails or reaches end of stream, then reports the disconnect once
+    public void run() {
+        while (true) {
+            try {
+                int numBytes = inStream.read(buffer);
+                if (numBytes < 0) {
+                    throw new EOFException("End of stream reached");
+                }
+                listener.onMessageReceived(MessageCodec.decode(buffer, 0, numBytes));
+            } catch (IOException e) {
+                listener.onDisconnected(e);
+                break;
+            }
+        }
+    }
+}
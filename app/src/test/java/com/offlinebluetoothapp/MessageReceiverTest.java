@@ -0,0 +1,109 @@
+package com.offlinebluetoothapp;
+
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MessageReceiverTest {
+    
+    @Test
+    public void reportsOneMessagePerReadThenDisconnectsAtEndOfStream() {
+        RecordingListener listener = new RecordingListener();
+        
+        new MessageReceiver(new ChunkedInputStream("hello", "w\u00f6rld", "!"), listener).run();
+        
+        assertEquals(Arrays.asList("message:hello", "message:w\u00f6rld", "message:!", "disconnected"), listener.events);
+        assertTrue(listener.cause instanceof EOFException);
+    }
+    
+    @Test
+    public void reportsReadFailureAsDisconnect() {
+        final IOException failure = new IOException("socket closed");
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw failure;
+            }
+        };
+        RecordingListener listener = new RecordingListener();
+        
+        new MessageReceiver(failing, listener).run();
+        
+        assertEquals(Arrays.asList("disconnected"), listener.events);
+        assertEquals(failure, listener.cause);
+    }
+    
+    @Test
+    public void stopsReadingAfterDisconnect() {
+        ChunkedInputStream stream = new ChunkedInputStream("only");
+        RecordingListener listener = new RecordingListener();
+        
+        new MessageReceiver(stream, listener).run();
+        
+        assertEquals(Arrays.asList("message:only", "disconnected"), listener.events);
+        assertEquals(1, stream.endOfStreamReads);
+    }
+    
+    private static class RecordingListener implements MessageReceiver.OnMessageListener {
+        final List<String> events = new ArrayList<>();
+        IOException cause;
+        
+        @Override
+        public void onMessageReceived(String message) {
+            events.add("message:" + message);
+        }
+        
+        @Override
+        public void onDisconnected(IOException cause) {
+            events.add("disconnected");
+            this.cause = cause;
+        }
+    }
+    
+    // Hands back at most one chunk per read(), the way a socket delivers one write from the peer
+    private static class ChunkedInputStream extends InputStream {
+        private final Iterator<byte[]> chunks;
+        private byte[] current;
+        private int position;
+        int endOfStreamReads;
+        
+        ChunkedInputStream(String... chunks) {
+            List<byte[]> encoded = new ArrayList<>();
+            for (String chunk : chunks) {
+                encoded.add(MessageCodec.encode(chunk));
+            }
+            this.chunks = encoded.iterator();
+        }
+        
+        @Override
+        public int read() {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (current == null || position == current.length) {
+                if (!chunks.hasNext()) {
+                    endOfStreamReads++;
+                    return -1;
+                }
+                current = chunks.next();
+                position = 0;
+            }
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.offlinebluetoothapp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// Replays an ACTION_FOUND burst through the dedup done in MainActivity's bluetoothReceiver.
+// BluetoothDevice can't be created off-device, but its equals() only compares the MAC address,
+// so addresses stand in for devices here. The set variant is the baseline to compare against.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeviceDedupBenchmark {
+    
+    // Each device is usually reported several times during one discovery pass
+    private static final int REPORTS_PER_DEVICE = 4;
+    
+    @Param({"8", "64", "256"})
+    private int deviceCount;
+    
+    private String[] foundEvents;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        foundEvents = new String[deviceCount * REPORTS_PER_DEVICE];
+        for (int i = 0; i < foundEvents.length; i++) {
+            foundEvents[i] = address(random.nextInt(deviceCount));
+        }
+    }
+    
+    @Benchmark
+    public List<String> listContains() {
+        List<String> discoveredDevices = new ArrayList<>();
+        for (String device : foundEvents) {
+            if (device != null && !discoveredDevices.contains(device)) {
+                discoveredDevices.add(device);
+            }
+        }
+        return discoveredDevices;
+    }
+    
+    @Benchmark
+    public List<String> hashSetLookup() {
+        List<String> discoveredDevices = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String device : foundEvents) {
+            if (device != null && seen.add(device)) {
+                discoveredDevices.add(device);
+            }
+        }
+        return discoveredDevices;
+    }
+    
+    private static String address(int index) {
+        return String.format(Locale.US, "00:11:22:%02X:%02X:%02X",
+                (index >> 16) & 0xFF, (index >> 8) & 0xFF, index & 0xFF);
+    }
+}
@@ -0,0 +1,52 @@
+package com.offlinebluetoothapp.benchmark;
+
+import com.offlinebluetoothapp.MessageCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Encode is what ConnectedThread.write() does per send, decode is what the receive loop does per read
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageCodecBenchmark {
+    
+    @Param({"16", "256", "1024"})
+    private int length;
+    
+    @Param({"ascii", "unicode"})
+    private String charset;
+    
+    private String message;
+    private byte[] encoded;
+    
+    @Setup
+    public void setup() {
+        message = Payloads.text(length, "unicode".equals(charset));
+        encoded = MessageCodec.encode(message);
+    }
+    
+    @Benchmark
+    public byte[] encode() {
+        return MessageCodec.encode(message);
+    }
+    
+    @Benchmark
+    public String decode() {
+        return MessageCodec.decode(encoded, 0, encoded.length);
+    }
+}
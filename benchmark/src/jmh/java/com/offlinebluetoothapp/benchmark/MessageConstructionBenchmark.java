@@ -0,0 +1,45 @@
+package com.offlinebluetoothapp.benchmark;
+
+import com.offlinebluetoothapp.Message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+// Mirrors MainActivity.addMessage(): format the current time, then build the Message
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageConstructionBenchmark {
+    
+    private String content;
+    
+    @Setup
+    public void setup() {
+        content = Payloads.text(64, false);
+    }
+    
+    @Benchmark
+    public String formatTimestamp() {
+        return Message.formatTimestamp(new Date());
+    }
+    
+    @Benchmark
+    public Message addMessage() {
+        String timestamp = Message.formatTimestamp(new Date());
+        return new Message("Remote", content, timestamp);
+    }
+}
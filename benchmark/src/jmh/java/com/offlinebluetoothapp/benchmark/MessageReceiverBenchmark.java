@@ -0,0 +1,102 @@
+package com.offlinebluetoothapp.benchmark;
+
+import com.offlinebluetoothapp.MessageCodec;
+import com.offlinebluetoothapp.MessageReceiver;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+// Drives the real receive loop over a loopback stream that hands back one frame per read(),
+// the way an RFCOMM socket delivers a single write from the peer
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageReceiverBenchmark {
+    
+    private static final int MESSAGES = 1000;
+    
+    @Param({"16", "256", "1024"})
+    private int length;
+    
+    private byte[] frame;
+    
+    @Setup
+    public void setup() {
+        frame = MessageCodec.encode(Payloads.text(length, false));
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void receive(final Blackhole blackhole) {
+        new MessageReceiver(new LoopbackInputStream(frame, MESSAGES), new MessageReceiver.OnMessageListener() {
+            @Override
+            public void onMessageReceived(String message) {
+                blackhole.consume(message);
+            }
+            
+            @Override
+            public void onDisconnected(IOException cause) {
+                blackhole.consume(cause);
+            }
+        }).run();
+    }
+    
+    static class LoopbackInputStream extends InputStream {
+        private final byte[] frame;
+        private int remaining;
+        private int position;
+        
+        LoopbackInputStream(byte[] frame, int count) {
+            this.frame = frame;
+            this.remaining = count;
+        }
+        
+        @Override
+        public int read() {
+            if (remaining == 0) {
+                return -1;
+            }
+            int value = frame[position++] & 0xFF;
+            advance();
+            return value;
+        }
+        
+        // Never returns more than the rest of the current frame, so each frame arrives as its own read
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (remaining == 0) {
+                return -1;
+            }
+            int count = Math.min(length, frame.length - position);
+            System.arraycopy(frame, position, buffer, offset, count);
+            position += count;
+            advance();
+            return count;
+        }
+        
+        private void advance() {
+            if (position == frame.length) {
+                position = 0;
+                remaining--;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.offlinebluetoothapp.benchmark;
+
+final class Payloads {
+    
+    private static final String ASCII = "Hello over Bluetooth, are you there? ";
+    // Mixes 1-, 2- and 3-byte UTF-8 chars in an 8-char period that divides every benchmarked length,
+    // so each length has the same share (half) of multi-byte chars
+    private static final String UNICODE = "Gr\u00fc\u00df \u4f60\u597d ";
+    
+    private Payloads() {
+    }
+    
+    // Builds a message of exactly length chars so both charsets compare like for like
+    static String text(int length, boolean unicode) {
+        String source = unicode ? UNICODE : ASCII;
+        StringBuilder builder = new StringBuilder(length);
+        while (builder.length() < length) {
+            builder.append(source.charAt(builder.length() % source.length()));
+        }
+        return builder.toString();
+    }
+}
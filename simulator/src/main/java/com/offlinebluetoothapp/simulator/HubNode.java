@@ -0,0 +1,111 @@
+package com.offlinebluetoothapp.simulator;
+
+import com.offlinebluetoothapp.Message;
+import com.offlinebluetoothapp.MessageReceiver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+// The device everyone connects to. The app itself can't be this hub: AcceptThread stops after the
+// first accept() and MainActivity holds a single ConnectedThread, so it only ever has one link. Only
+// the receive loop (MessageReceiver), the codec and the Message/timestamp construction from
+// addMessage() are shared with the app; the one-thread-per-link fan-in is the simulator's own, and
+// hub-side numbers are not a measurement of the shipped app.
+// Like MainActivity, every read is kept when historyLimit is negative (the default); a limit of 0 or
+// more keeps only the newest reads.
+class HubNode implements Transport.OnLinkAcceptedListener {
+    
+    private final SwarmStats stats;
+    private final int historyLimit;
+    private final List<Message> messages = new ArrayList<>();
+    // Slot holding the oldest message once a bounded history is full
+    private int oldest;
+    
+    HubNode(SwarmStats stats, int historyLimit) {
+        this.stats = stats;
+        this.historyLimit = historyLimit;
+    }
+    
+    @Override
+    public void onLinkAccepted(final String remoteName, final InputStream inStream) {
+        stats.hubLinks.incrementAndGet();
+        Thread connectedThread = new Thread(
+                () -> new MessageReceiver(inStream, new LinkListener(remoteName, inStream)).run(),
+                "hub-" + remoteName);
+        connectedThread.setDaemon(true);
+        connectedThread.start();
+    }
+    
+    int retainedCount() {
+        synchronized (messages) {
+            return messages.size();
+        }
+    }
+    
+    // Oldest first
+    List<Message> history() {
+        synchronized (messages) {
+            List<Message> history = new ArrayList<>(messages.size());
+            history.addAll(messages.subList(oldest, messages.size()));
+            history.addAll(messages.subList(0, oldest));
+            return history;
+        }
+    }
+    
+    private void retain(Message message) {
+        synchronized (messages) {
+            if (historyLimit < 0 || messages.size() < historyLimit) {
+                messages.add(message);
+            } else if (historyLimit > 0) {
+                messages.set(oldest, message);
+                oldest = (oldest + 1) % historyLimit;
+            }
+        }
+    }
+    
+    class LinkListener implements MessageReceiver.OnMessageListener {
+        private final String remoteName;
+        private final InputStream inStream;
+        // The app has no framing, so a read can hold part of a message or several of them
+        private final StringBuilder pending = new StringBuilder();
+        
+        LinkListener(String remoteName, InputStream inStream) {
+            this.remoteName = remoteName;
+            this.inStream = inStream;
+        }
+        
+        @Override
+        public void onMessageReceived(String receivedMessage) {
+            long receivedAt = System.nanoTime();
+            retain(new Message(remoteName, receivedMessage, Message.formatTimestamp(new Date())));
+            stats.hubReads.incrementAndGet();
+            
+            boolean continuesEarlierRead = pending.length() > 0;
+            pending.append(receivedMessage);
+            int complete = 0;
+            int end;
+            while ((end = pending.indexOf(PeerNode.TERMINATOR)) >= 0) {
+                stats.messageReceived(receivedAt - PeerNode.parseSendTime(pending));
+                pending.delete(0, end + PeerNode.TERMINATOR.length());
+                complete++;
+            }
+            // Anything other than one whole message per read is shown wrongly in the app's message list
+            if (continuesEarlierRead || complete != 1 || pending.length() > 0) {
+                stats.framingMismatches.incrementAndGet();
+            }
+        }
+        
+        @Override
+        public void onDisconnected(IOException cause) {
+            stats.hubLinks.decrementAndGet();
+            try {
+                inStream.close();
+            } catch (IOException e) {
+                System.err.println("Could not close hub link " + remoteName + ": " + e);
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.offlinebluetoothapp.simulator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+
+class InProcessTransport implements Transport {
+    
+    // Roughly the size of a socket receive buffer
+    private static final int PIPE_SIZE = 64 * 1024;
+    
+    private volatile OnLinkAcceptedListener listener;
+    
+    @Override
+    public void start(OnLinkAcceptedListener listener) {
+        this.listener = listener;
+    }
+    
+    @Override
+    public OutputStream connect(String peerName) throws IOException {
+        PipedOutputStream out = new PipedOutputStream();
+        PipedInputStream in = new PipedInputStream(out, PIPE_SIZE);
+        listener.onLinkAccepted(peerName, in);
+        return out;
+    }
+    
+    @Override
+    public void close() {
+    }
+}
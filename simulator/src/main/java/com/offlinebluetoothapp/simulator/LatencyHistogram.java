@@ -0,0 +1,81 @@
+package com.offlinebluetoothapp.simulator;
+
+import java.util.Arrays;
+
+// Log-linear histogram of microsecond latencies: 32 sub-buckets per power of two, so any
+// percentile is within ~3% of the true value while memory stays fixed however long the soak runs
+final class LatencyHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    
+    private final long[] counts = new long[64 * SUB_BUCKETS];
+    private long totalCount;
+    private long maxMicros;
+    
+    synchronized void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        counts[indexOf(micros)]++;
+        totalCount++;
+        maxMicros = Math.max(maxMicros, micros);
+    }
+    
+    synchronized void add(LatencyHistogram other) {
+        synchronized (other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            totalCount += other.totalCount;
+            maxMicros = Math.max(maxMicros, other.maxMicros);
+        }
+    }
+    
+    synchronized LatencyHistogram snapshotAndReset() {
+        LatencyHistogram snapshot = new LatencyHistogram();
+        System.arraycopy(counts, 0, snapshot.counts, 0, counts.length);
+        snapshot.totalCount = totalCount;
+        snapshot.maxMicros = maxMicros;
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        maxMicros = 0;
+        return snapshot;
+    }
+    
+    synchronized long maxMicros() {
+        return maxMicros;
+    }
+    
+    // Upper bound of the bucket holding the given percentile, or 0 when nothing was recorded
+    synchronized long percentileMicros(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+    
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+    
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
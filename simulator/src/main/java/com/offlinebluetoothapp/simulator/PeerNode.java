@@ -0,0 +1,153 @@
+package com.offlinebluetoothapp.simulator;
+
+import com.offlinebluetoothapp.MessageCodec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// A chatty virtual device: connects, sends at a Poisson rate through the app's codec, drops the
+// link at random if a disconnect rate is configured, and reconnects after a delay
+class PeerNode implements Runnable {
+    
+    static final String TERMINATOR = "\n";
+    // Fixed-width hex header "<sendNanos>|<peer>|<sequence>|", so every frame is exactly sim.size bytes
+    private static final int SEND_TIME_DIGITS = 16;
+    private static final int PEER_DIGITS = 6;
+    private static final int SEQUENCE_DIGITS = 16;
+    static final int MAX_PEERS = 1 << (PEER_DIGITS * 4);
+    static final int MIN_MESSAGE_SIZE = SEND_TIME_DIGITS + PEER_DIGITS + SEQUENCE_DIGITS + 3 + TERMINATOR.length();
+    
+    private final int index;
+    private final String name;
+    private final SimulatorConfig config;
+    private final Transport transport;
+    private final SwarmStats stats;
+    private final Random random;
+    private volatile boolean running = true;
+    private long sequence;
+    
+    PeerNode(int index, SimulatorConfig config, Transport transport, SwarmStats stats) {
+        this.index = index;
+        this.name = "peer-" + index;
+        this.config = config;
+        this.transport = transport;
+        this.stats = stats;
+        this.random = new Random(index);
+    }
+    
+    void stop() {
+        running = false;
+    }
+    
+    @Override
+    public void run() {
+        // Spread the first sends so the peers don't all fire in lock step
+        pause(nextGapNanos());
+        while (running) {
+            OutputStream outStream;
+            try {
+                outStream = transport.connect(name);
+            } catch (IOException e) {
+                stats.connectFailures.incrementAndGet();
+                pause(TimeUnit.MILLISECONDS.toNanos(config.reconnectDelayMillis));
+                continue;
+            }
+            
+            stats.connectedPeers.incrementAndGet();
+            try {
+                sendUntilDisconnect(outStream);
+            } catch (IOException e) {
+                stats.writeFailures.incrementAndGet();
+            } finally {
+                stats.connectedPeers.decrementAndGet();
+                try {
+                    outStream.close();
+                } catch (IOException e) {
+                    System.err.println("Could not close " + name + ": " + e);
+                }
+            }
+            
+            if (running) {
+                stats.disconnects.incrementAndGet();
+                pause(TimeUnit.MILLISECONDS.toNanos(config.reconnectDelayMillis));
+            }
+        }
+    }
+    
+    private void sendUntilDisconnect(OutputStream outStream) throws IOException {
+        long disconnectAt = Long.MAX_VALUE;
+        if (config.disconnectsPerMinute > 0) {
+            disconnectAt = System.nanoTime() + exponentialNanos(config.disconnectsPerMinute / 60.0);
+        }
+        long nextSend = System.nanoTime();
+        while (running) {
+            nextSend += nextGapNanos();
+            if (nextSend >= disconnectAt) {
+                pauseUntil(disconnectAt);
+                return;
+            }
+            pauseUntil(nextSend);
+            if (!running) {
+                return;
+            }
+            
+            // Stamp the scheduled time, not the actual one, so a peer that falls behind or blocks on
+            // write still counts its queueing delay in the latency (avoids coordinated omission)
+            byte[] frame = MessageCodec.encode(payload(nextSend, index, sequence++, config.messageSize));
+            outStream.write(frame);
+            outStream.flush();
+            stats.messageSent(frame.length);
+        }
+    }
+    
+    // Header padded with 'x' to the configured size and newline-terminated; all ASCII, so chars == bytes
+    static String payload(long sendNanos, int peerIndex, long sequence, int size) {
+        StringBuilder builder = new StringBuilder(size);
+        appendHex(builder, sendNanos, SEND_TIME_DIGITS).append('|');
+        appendHex(builder, peerIndex, PEER_DIGITS).append('|');
+        appendHex(builder, sequence, SEQUENCE_DIGITS).append('|');
+        while (builder.length() < size - TERMINATOR.length()) {
+            builder.append('x');
+        }
+        return builder.append(TERMINATOR).toString();
+    }
+    
+    // 16 hex digits are the full two's complement value, so negative nanoTime() readings round-trip
+    static long parseSendTime(CharSequence record) {
+        long value = 0;
+        for (int i = 0; i < SEND_TIME_DIGITS; i++) {
+            value = (value << 4) | Character.digit(record.charAt(i), 16);
+        }
+        return value;
+    }
+    
+    private static StringBuilder appendHex(StringBuilder builder, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            builder.append(Character.forDigit((int) (value >>> shift) & 0xF, 16));
+        }
+        return builder;
+    }
+    
+    private long nextGapNanos() {
+        return exponentialNanos(config.messagesPerSecond);
+    }
+    
+    private long exponentialNanos(double ratePerSecond) {
+        return (long) (-Math.log(1.0 - random.nextDouble()) / ratePerSecond * TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    private void pause(long nanos) {
+        pauseUntil(System.nanoTime() + nanos);
+    }
+    
+    // parkNanos() may return early, so keep parking until the deadline or until stopped
+    private void pauseUntil(long deadline) {
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.offlinebluetoothapp.simulator;
+
+import java.io.File;
+
+final class SimulatorConfig {
+    
+    static final String TRANSPORT_IN_PROCESS = "inproc";
+    static final String TRANSPORT_TCP = "tcp";
+    
+    final int nodes;
+    final double messagesPerSecond;
+    final int messageSize;
+    final long durationSeconds;
+    final long warmupSeconds;
+    final long reportIntervalSeconds;
+    final double disconnectsPerMinute;
+    final long reconnectDelayMillis;
+    final int hubHistory;
+    final String transport;
+    final File reportFile;
+    
+    private SimulatorConfig() {
+        nodes = intProperty("sim.nodes", 50);
+        messagesPerSecond = doubleProperty("sim.rate", 2.0);
+        messageSize = intProperty("sim.size", 64);
+        durationSeconds = longProperty("sim.duration", 60);
+        warmupSeconds = longProperty("sim.warmup", 5);
+        reportIntervalSeconds = longProperty("sim.reportInterval", 5);
+        disconnectsPerMinute = doubleProperty("sim.disconnectRate", 0.0);
+        reconnectDelayMillis = longProperty("sim.reconnectDelay", 1000);
+        hubHistory = intProperty("sim.hubHistory", -1);
+        transport = System.getProperty("sim.transport", TRANSPORT_IN_PROCESS);
+        String report = System.getProperty("sim.report");
+        reportFile = report != null ? new File(report) : null;
+        
+        if (nodes < 1 || nodes > PeerNode.MAX_PEERS) {
+            throw new IllegalArgumentException("sim.nodes must be between 1 and " + PeerNode.MAX_PEERS);
+        }
+        if (messageSize < PeerNode.MIN_MESSAGE_SIZE) {
+            throw new IllegalArgumentException("sim.size must be at least " + PeerNode.MIN_MESSAGE_SIZE
+                    + " bytes to hold the message header");
+        }
+        if (hubHistory < -1) {
+            throw new IllegalArgumentException("sim.hubHistory must be -1 (keep everything) or a limit of 0 or more");
+        }
+        if (messagesPerSecond <= 0) {
+            throw new IllegalArgumentException("sim.rate must be positive");
+        }
+        if (durationSeconds < 1 || reportIntervalSeconds < 1) {
+            throw new IllegalArgumentException("sim.duration and sim.reportInterval must be at least 1 second");
+        }
+        if (warmupSeconds < 0 || warmupSeconds >= durationSeconds) {
+            throw new IllegalArgumentException("sim.warmup must be between 0 and sim.duration");
+        }
+        if (!TRANSPORT_IN_PROCESS.equals(transport) && !TRANSPORT_TCP.equals(transport)) {
+            throw new IllegalArgumentException("sim.transport must be '" + TRANSPORT_IN_PROCESS
+                    + "' or '" + TRANSPORT_TCP + "'");
+        }
+    }
+    
+    static SimulatorConfig fromSystemProperties() {
+        return new SimulatorConfig();
+    }
+    
+    @Override
+    public String toString() {
+        return "nodes=" + nodes
+                + " rate=" + messagesPerSecond + "/s"
+                + " size=" + messageSize + "B"
+                + " duration=" + durationSeconds + "s"
+                + " warmup=" + warmupSeconds + "s"
+                + " disconnectRate=" + disconnectsPerMinute + "/min"
+                + " reconnectDelay=" + reconnectDelayMillis + "ms"
+                + " hubHistory=" + (hubHistory < 0 ? "unbounded" : String.valueOf(hubHistory))
+                + " transport=" + transport;
+    }
+    
+    private static int intProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+    
+    private static long longProperty(String name, long defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? Long.parseLong(value.trim()) : defaultValue;
+    }
+    
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? Double.parseDouble(value.trim()) : defaultValue;
+    }
+}
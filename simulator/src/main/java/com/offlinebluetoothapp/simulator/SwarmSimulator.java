@@ -0,0 +1,211 @@
+package com.offlinebluetoothapp.simulator;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Entry point for `./gradlew :simulator:simulate`. Prints one row per report interval and appends
+// the same row to a CSV file, then drains in-flight messages and prints a loss/latency summary.
+public class SwarmSimulator {
+    
+    private static final long DRAIN_TIMEOUT_MILLIS = 5000;
+    private static final String HEADER = "elapsed_s,connected_peers,hub_links,sent,received,unaccounted,"
+            + "msgs_per_s,kb_per_s,p50_ms,p95_ms,p99_ms,max_ms,framing_mismatches,write_failures,"
+            + "disconnects,heap_used_mb,hub_reads,hub_retained";
+    
+    private final SimulatorConfig config;
+    private final SwarmStats stats = new SwarmStats();
+    private final HubNode hub;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<PeerNode> peers = new ArrayList<>();
+    private final List<Thread> peerThreads = new ArrayList<>();
+    
+    private long lastBytesSent;
+    private long lastReceived;
+    private long lastReportAt;
+    
+    SwarmSimulator(SimulatorConfig config) {
+        this.config = config;
+        this.hub = new HubNode(stats, config.hubHistory);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        new SwarmSimulator(SimulatorConfig.fromSystemProperties()).run();
+    }
+    
+    void run() throws IOException, InterruptedException {
+        Transport transport = SimulatorConfig.TRANSPORT_TCP.equals(config.transport)
+                ? new TcpTransport() : new InProcessTransport();
+        transport.start(hub);
+        
+        PrintWriter report = openReport();
+        System.out.println("Swarm simulator: " + config);
+        System.out.println(HEADER);
+        report.println(HEADER);
+        
+        long baselineHeap = settledHeapUsedBytes();
+        long start = System.nanoTime();
+        startPeers(transport);
+        
+        long intervalNanos = TimeUnit.SECONDS.toNanos(config.reportIntervalSeconds);
+        long end = start + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        lastReportAt = start;
+        for (long nextReport = start + intervalNanos; nextReport < end; nextReport += intervalNanos) {
+            sleepUntil(nextReport);
+            printRow(report, start);
+        }
+        sleepUntil(end);
+        
+        // The last row also covers the drain, so it settles what is still in flight
+        stopPeers();
+        long drainDeadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+        while ((stats.messagesReceived.get() < stats.messagesSent.get() || stats.hubLinks.get() > 0)
+                && System.currentTimeMillis() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        printRow(report, start);
+        report.close();
+        transport.close();
+        
+        printSummary(baselineHeap);
+    }
+    
+    private void startPeers(Transport transport) {
+        for (int i = 0; i < config.nodes; i++) {
+            PeerNode peer = new PeerNode(i, config, transport, stats);
+            Thread thread = new Thread(peer, "peer-" + i);
+            thread.setDaemon(true);
+            peers.add(peer);
+            peerThreads.add(thread);
+            thread.start();
+        }
+    }
+    
+    private void stopPeers() throws InterruptedException {
+        for (int i = 0; i < peers.size(); i++) {
+            peers.get(i).stop();
+            LockSupport.unpark(peerThreads.get(i));
+        }
+        for (Thread thread : peerThreads) {
+            thread.join(DRAIN_TIMEOUT_MILLIS);
+        }
+    }
+    
+    private void printRow(PrintWriter report, long start) {
+        long now = System.nanoTime();
+        long sent = stats.messagesSent.get();
+        long bytesSent = stats.bytesSent.get();
+        long received = stats.messagesReceived.get();
+        double seconds = (now - lastReportAt) / 1e9;
+        // Any interval that began during warm-up is left out of the run summary
+        boolean warmingUp = lastReportAt - start < TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        LatencyHistogram latency = stats.takeIntervalLatency(warmingUp);
+        
+        String row = String.format(Locale.US, "%d,%d,%d,%d,%d,%d,%.1f,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d,%.1f,%d,%d",
+                TimeUnit.NANOSECONDS.toSeconds(now - start),
+                stats.connectedPeers.get(),
+                stats.hubLinks.get(),
+                sent,
+                received,
+                sent - received,
+                (received - lastReceived) / seconds,
+                (bytesSent - lastBytesSent) / 1024.0 / seconds,
+                latency.percentileMicros(50) / 1000.0,
+                latency.percentileMicros(95) / 1000.0,
+                latency.percentileMicros(99) / 1000.0,
+                latency.maxMicros() / 1000.0,
+                stats.framingMismatches.get(),
+                stats.writeFailures.get(),
+                stats.disconnects.get(),
+                heapUsedBytes() / (1024.0 * 1024.0),
+                stats.hubReads.get(),
+                hub.retainedCount());
+        System.out.println(row);
+        report.println(row);
+        report.flush();
+        
+        lastBytesSent = bytesSent;
+        lastReceived = received;
+        lastReportAt = now;
+    }
+    
+    private void printSummary(long baselineHeap) {
+        long sent = stats.messagesSent.get();
+        long received = stats.messagesReceived.get();
+        long lost = Math.max(0, sent - received);
+        LatencyHistogram latency = stats.totalLatency();
+        
+        System.out.println();
+        System.out.println("Summary");
+        System.out.println(String.format(Locale.US, "  messages sent/received: %d / %d", sent, received));
+        System.out.println(String.format(Locale.US, "  lost: %d (%.3f%%)", lost, sent > 0 ? lost * 100.0 / sent : 0.0));
+        System.out.println(String.format(Locale.US, "  latency p50/p95/p99/max after %ds warm-up: %.3f / %.3f / %.3f / %.3f ms",
+                config.warmupSeconds,
+                latency.percentileMicros(50) / 1000.0,
+                latency.percentileMicros(95) / 1000.0,
+                latency.percentileMicros(99) / 1000.0,
+                latency.maxMicros() / 1000.0));
+        System.out.println("  reads not holding exactly one message: " + stats.framingMismatches.get());
+        System.out.println("  disconnects: " + stats.disconnects.get()
+                + ", write failures: " + stats.writeFailures.get()
+                + ", connect failures: " + stats.connectFailures.get());
+        System.out.println("  hub reads: " + stats.hubReads.get() + ", retained: " + hub.retainedCount()
+                + (config.hubHistory < 0 ? " (unbounded)" : " (limit " + config.hubHistory + ")"));
+        System.out.println(String.format(Locale.US, "  heap growth: %.1f MB",
+                (settledHeapUsedBytes() - baselineHeap) / (1024.0 * 1024.0)));
+        if (config.reportFile != null) {
+            System.out.println("  report: " + config.reportFile.getAbsolutePath());
+        }
+    }
+    
+    private PrintWriter openReport() throws IOException {
+        if (config.reportFile == null) {
+            return new PrintWriter(new NullWriter());
+        }
+        File parent = config.reportFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        return new PrintWriter(new FileWriter(config.reportFile));
+    }
+    
+    private long heapUsedBytes() {
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+    
+    // Only used at the start and end of a run, where a full GC makes the growth figure comparable
+    private long settledHeapUsedBytes() {
+        memory.gc();
+        return heapUsedBytes();
+    }
+    
+    private static void sleepUntil(long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+    
+    private static class NullWriter extends Writer {
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+        }
+        
+        @Override
+        public void flush() {
+        }
+        
+        @Override
+        public void close() {
+        }
+    }
+}
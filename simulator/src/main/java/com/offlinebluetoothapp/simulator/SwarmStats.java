@@ -0,0 +1,45 @@
+package com.offlinebluetoothapp.simulator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Counters shared by every peer and hub connection; read by the reporter once per interval
+final class SwarmStats {
+    
+    final AtomicLong messagesSent = new AtomicLong();
+    final AtomicLong bytesSent = new AtomicLong();
+    final AtomicLong messagesReceived = new AtomicLong();
+    final AtomicLong hubReads = new AtomicLong();
+    final AtomicLong framingMismatches = new AtomicLong();
+    final AtomicLong writeFailures = new AtomicLong();
+    final AtomicLong connectFailures = new AtomicLong();
+    final AtomicLong disconnects = new AtomicLong();
+    final AtomicInteger connectedPeers = new AtomicInteger();
+    final AtomicInteger hubLinks = new AtomicInteger();
+    
+    private final LatencyHistogram intervalLatency = new LatencyHistogram();
+    private final LatencyHistogram totalLatency = new LatencyHistogram();
+    
+    void messageSent(int bytes) {
+        messagesSent.incrementAndGet();
+        bytesSent.addAndGet(bytes);
+    }
+    
+    void messageReceived(long latencyNanos) {
+        messagesReceived.incrementAndGet();
+        intervalLatency.recordNanos(latencyNanos);
+    }
+    
+    // Latencies recorded since the previous call; outside warm-up they are also folded into the run total
+    LatencyHistogram takeIntervalLatency(boolean warmingUp) {
+        LatencyHistogram snapshot = intervalLatency.snapshotAndReset();
+        if (!warmingUp) {
+            totalLatency.add(snapshot);
+        }
+        return snapshot;
+    }
+    
+    LatencyHistogram totalLatency() {
+        return totalLatency;
+    }
+}
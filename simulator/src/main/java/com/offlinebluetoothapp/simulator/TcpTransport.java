@@ -0,0 +1,54 @@
+package com.offlinebluetoothapp.simulator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+class TcpTransport implements Transport {
+    
+    private static final int BACKLOG = 1024;
+    
+    private ServerSocket serverSocket;
+    private Thread acceptThread;
+    
+    @Override
+    public void start(final OnLinkAcceptedListener listener) throws IOException {
+        serverSocket = new ServerSocket(0, BACKLOG, InetAddress.getLoopbackAddress());
+        acceptThread = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    listener.onLinkAccepted(String.valueOf(socket.getRemoteSocketAddress()), socket.getInputStream());
+                } catch (IOException e) {
+                    if (!serverSocket.isClosed()) {
+                        System.err.println("Hub accept() failed: " + e);
+                    }
+                }
+            }
+        }, "hub-accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+    
+    @Override
+    public OutputStream connect(String peerName) throws IOException {
+        Socket socket = new Socket(serverSocket.getInetAddress(), serverSocket.getLocalPort());
+        // RFCOMM has no Nagle delay, so don't let TCP add one to the latency figures
+        socket.setTcpNoDelay(true);
+        // Closing a socket's output stream closes the socket
+        return socket.getOutputStream();
+    }
+    
+    @Override
+    public void close() {
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Could not close the hub server socket: " + e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.offlinebluetoothapp.simulator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// Stands in for RFCOMM: peers connect() and write, the hub is handed the read side of each link
+interface Transport {
+    
+    interface OnLinkAcceptedListener {
+        void onLinkAccepted(String remoteName, InputStream inStream);
+    }
+    
+    void start(OnLinkAcceptedListener listener) throws IOException;
+    
+    OutputStream connect(String peerName) throws IOException;
+    
+    void close();
+}
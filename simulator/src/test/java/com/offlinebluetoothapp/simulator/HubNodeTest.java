@@ -0,0 +1,114 @@
+package com.offlinebluetoothapp.simulator;
+
+import com.offlinebluetoothapp.Message;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class HubNodeTest {
+    
+    private final SwarmStats stats = new SwarmStats();
+    
+    @Test
+    public void negativeLimitKeepsEveryRead() {
+        HubNode hub = new HubNode(stats, -1);
+        HubNode.LinkListener link = link(hub);
+        for (int i = 0; i < 5; i++) {
+            link.onMessageReceived(frame(i));
+        }
+        
+        assertEquals(5, hub.retainedCount());
+        assertEquals(5, stats.hubReads.get());
+    }
+    
+    @Test
+    public void zeroLimitKeepsNothingButStillCountsReads() {
+        HubNode hub = new HubNode(stats, 0);
+        HubNode.LinkListener link = link(hub);
+        for (int i = 0; i < 5; i++) {
+            link.onMessageReceived(frame(i));
+        }
+        
+        assertEquals(0, hub.retainedCount());
+        assertEquals(5, stats.hubReads.get());
+        assertEquals(5, stats.messagesReceived.get());
+    }
+    
+    @Test
+    public void boundedLimitKeepsNewestReadsOldestFirst() {
+        HubNode hub = new HubNode(stats, 3);
+        HubNode.LinkListener link = link(hub);
+        for (int i = 0; i < 7; i++) {
+            link.onMessageReceived(frame(i));
+        }
+        
+        assertEquals(3, hub.retainedCount());
+        assertEquals(Arrays.asList(frame(4), frame(5), frame(6)), contents(hub.history()));
+    }
+    
+    @Test
+    public void wholeFramePerReadIsNotAMismatch() {
+        HubNode.LinkListener link = link(new HubNode(stats, -1));
+        link.onMessageReceived(frame(0));
+        link.onMessageReceived(frame(1));
+        
+        assertEquals(2, stats.messagesReceived.get());
+        assertEquals(0, stats.framingMismatches.get());
+    }
+    
+    @Test
+    public void splitFrameIsReassembledAndEachPartCountsAsMismatch() {
+        HubNode.LinkListener link = link(new HubNode(stats, -1));
+        String frame = frame(0);
+        
+        link.onMessageReceived(frame.substring(0, 20));
+        assertEquals(0, stats.messagesReceived.get());
+        link.onMessageReceived(frame.substring(20));
+        
+        assertEquals(1, stats.messagesReceived.get());
+        assertEquals(2, stats.framingMismatches.get());
+    }
+    
+    @Test
+    public void coalescedFramesAreAllCountedAsOneMismatch() {
+        HubNode.LinkListener link = link(new HubNode(stats, -1));
+        link.onMessageReceived(frame(0) + frame(1) + frame(2));
+        
+        assertEquals(3, stats.messagesReceived.get());
+        assertEquals(1, stats.framingMismatches.get());
+    }
+    
+    @Test
+    public void readEndingMidFrameCarriesRemainderIntoNextRead() {
+        HubNode.LinkListener link = link(new HubNode(stats, -1));
+        String second = frame(1);
+        
+        link.onMessageReceived(frame(0) + second.substring(0, 10));
+        link.onMessageReceived(second.substring(10));
+        
+        assertEquals(2, stats.messagesReceived.get());
+        assertEquals(2, stats.framingMismatches.get());
+    }
+    
+    private static HubNode.LinkListener link(HubNode hub) {
+        return hub.new LinkListener("peer-0", new ByteArrayInputStream(new byte[0]));
+    }
+    
+    private static String frame(int sequence) {
+        return PeerNode.payload(1_000_000L * sequence, 0, sequence, 64);
+    }
+    
+    private static List<String> contents(List<Message> messages) {
+        List<String> contents = new ArrayList<>();
+        for (Message message : messages) {
+            contents.add(message.getContent());
+        }
+        return contents;
+    }
+}
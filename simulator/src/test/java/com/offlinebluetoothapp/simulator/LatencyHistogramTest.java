@@ -0,0 +1,93 @@
+package com.offlinebluetoothapp.simulator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+    
+    @Test
+    public void valuesBelowSubBucketCountGetExactBuckets() {
+        assertEquals(0, LatencyHistogram.indexOf(0));
+        assertEquals(31, LatencyHistogram.indexOf(31));
+        assertEquals(31, LatencyHistogram.upperBoundOf(31));
+    }
+    
+    @Test
+    public void firstPowerOfTwoRangeIsStillExact() {
+        assertEquals(32, LatencyHistogram.indexOf(32));
+        assertEquals(63, LatencyHistogram.indexOf(63));
+        assertEquals(32, LatencyHistogram.upperBoundOf(32));
+        assertEquals(63, LatencyHistogram.upperBoundOf(63));
+    }
+    
+    @Test
+    public void bucketsWidenAboveSixtyFour() {
+        assertEquals(64, LatencyHistogram.indexOf(64));
+        assertEquals(64, LatencyHistogram.indexOf(65));
+        assertEquals(65, LatencyHistogram.upperBoundOf(64));
+        assertEquals(65, LatencyHistogram.indexOf(66));
+    }
+    
+    @Test
+    public void largestValueMapsToLastUsedBucket() {
+        int index = LatencyHistogram.indexOf(Long.MAX_VALUE);
+        
+        assertEquals(1887, index);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(index));
+    }
+    
+    @Test
+    public void everyValueFallsWithinItsBucketBounds() {
+        for (int power = 0; power < 62; power++) {
+            for (long delta = -1; delta <= 1; delta++) {
+                long value = (1L << power) + delta;
+                int index = LatencyHistogram.indexOf(value);
+                assertTrue(value + " above its bucket", value <= LatencyHistogram.upperBoundOf(index));
+                if (index > 0) {
+                    assertTrue(value + " below its bucket", value > LatencyHistogram.upperBoundOf(index - 1));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        
+        assertEquals(0, histogram.percentileMicros(50));
+        assertEquals(0, histogram.percentileMicros(99));
+        assertEquals(0, histogram.maxMicros());
+    }
+    
+    @Test
+    public void percentileReportsBucketUpperBoundCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(64_000);
+        histogram.recordNanos(65_000);
+        histogram.recordNanos(1_000_000);
+        
+        assertEquals(65, histogram.percentileMicros(50));
+        assertEquals(1000, histogram.percentileMicros(99));
+        assertEquals(1000, histogram.maxMicros());
+        
+        LatencyHistogram single = new LatencyHistogram();
+        single.recordNanos(64_000);
+        assertEquals(64, single.percentileMicros(50));
+    }
+    
+    @Test
+    public void snapshotAndResetMovesCountsIntoSnapshot() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(31_000);
+        
+        LatencyHistogram snapshot = histogram.snapshotAndReset();
+        LatencyHistogram total = new LatencyHistogram();
+        total.add(snapshot);
+        
+        assertEquals(0, histogram.percentileMicros(50));
+        assertEquals(31, snapshot.percentileMicros(50));
+        assertEquals(31, total.percentileMicros(100));
+    }
+}
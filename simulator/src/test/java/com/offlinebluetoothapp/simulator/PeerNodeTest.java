@@ -0,0 +1,36 @@
+package com.offlinebluetoothapp.simulator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PeerNodeTest {
+    
+    @Test
+    public void sendTimeRoundTripsThroughHeader() {
+        long[] sendTimes = {0, 1, 123_456_789_012L, -1, -987_654_321_000L, Long.MIN_VALUE, Long.MAX_VALUE};
+        for (long sendTime : sendTimes) {
+            String payload = PeerNode.payload(sendTime, 7, 42, 64);
+            assertEquals(payload, sendTime, PeerNode.parseSendTime(payload));
+        }
+    }
+    
+    @Test
+    public void payloadIsExactlyTheConfiguredSize() {
+        String minimal = PeerNode.payload(-1, PeerNode.MAX_PEERS - 1, Long.MAX_VALUE, PeerNode.MIN_MESSAGE_SIZE);
+        String padded = PeerNode.payload(System.nanoTime(), 3, 9, 200);
+        
+        assertEquals(PeerNode.MIN_MESSAGE_SIZE, minimal.length());
+        assertEquals(200, padded.length());
+        assertTrue(padded.endsWith("x" + PeerNode.TERMINATOR));
+        assertEquals(padded.length() - 1, padded.indexOf(PeerNode.TERMINATOR));
+    }
+    
+    @Test
+    public void headerCarriesPeerAndSequenceInHex() {
+        String payload = PeerNode.payload(0x10, 0xabc, 0xff, 64);
+        
+        assertTrue(payload, payload.startsWith("0000000000000010|000abc|00000000000000ff|"));
+    }
+}